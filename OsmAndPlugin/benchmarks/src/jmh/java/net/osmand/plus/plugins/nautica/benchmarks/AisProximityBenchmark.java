@@ -0,0 +1,60 @@
+package net.osmand.plus.plugins.nautica.benchmarks;
+
+import net.osmand.plus.plugins.nautica.managers.AisProximity;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One AIS.checkProximityAlarms cycle over a crowded harbour, on a SignalK-shaped vessel tree
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AisProximityBenchmark {
+
+    @Param({"50", "500"})
+    public int targets;
+
+    private JSONObject own;
+    private JSONObject vessels;
+    private final List<Double> zones = Arrays.asList(2.0, 1.0, 0.5);
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        own = new JSONObject().put("latitude", 43.29).put("longitude", 5.36);
+        vessels = new JSONObject();
+        for (int i = 0; i < targets; i++) {
+            String mmsi = String.valueOf(227000000 + i);
+            JSONObject vessel = new JSONObject()
+                    .put("mmsi", mmsi)
+                    .put("name", "VESSEL " + i)
+                    .put("sog", random.nextDouble() * 8)
+                    .put("cog", random.nextDouble() * 2 * Math.PI);
+            // A few targets have not reported a position yet
+            if (i % 20 != 0) {
+                vessel.put("position", new JSONObject()
+                        .put("latitude", 43.29 + (random.nextDouble() - 0.5) * 0.2)
+                        .put("longitude", 5.36 + (random.nextDouble() - 0.5) * 0.2));
+            }
+            vessels.put(mmsi, vessel);
+        }
+    }
+
+    @Benchmark
+    public int proximityCycle(Blackhole blackhole) {
+        return AisProximity.scan(own, vessels, zones, (mmsi, distance) -> blackhole.consume(distance));
+    }
+}
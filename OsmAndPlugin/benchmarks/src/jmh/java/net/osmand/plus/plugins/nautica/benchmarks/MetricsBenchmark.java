@@ -0,0 +1,44 @@
+package net.osmand.plus.plugins.nautica.benchmarks;
+
+import net.osmand.plus.plugins.nautica.Metrics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Recording cost added to every SignalK delta and draw pass, over delta-handler-like latencies
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+    private final Metrics.Histogram histogram = new Metrics().histogram("signalk.delta.widgets");
+    private final long[] latencies = new long[4096];
+    private int next;
+
+    @Setup
+    public void setup() {
+        // Log-normal around 2 us with a long tail, like per-delta handling times
+        Random random = new Random(42);
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (long) (2000 * Math.exp(random.nextGaussian()));
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        histogram.record(latencies[next++ & (latencies.length - 1)]);
+    }
+
+    @Benchmark
+    public void recordSince() {
+        histogram.recordSince(System.nanoTime());
+    }
+}
@@ -0,0 +1,38 @@
+package net.osmand.plus.plugins.nautica.benchmarks;
+
+import net.osmand.plus.plugins.nautica.managers.RouteGeometry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RouteGeometryBenchmark {
+
+    // Lisbon to Bermuda, ~2700 nm, ~270 great circle segments
+    private final double[] start = {38.7, -9.4};
+    private final double[] end = {32.3, -64.8};
+
+    @Benchmark
+    public List<double[]> greatCircleOcean() {
+        return RouteGeometry.greatCirclePoints(start, end);
+    }
+
+    @Benchmark
+    public List<double[]> limitedCircleOcean() {
+        return RouteGeometry.limitedCirclePoints(start, end, 60.0);
+    }
+
+    @Benchmark
+    public double greatCircleDistance() {
+        return RouteGeometry.greatCircleDistance(start, end);
+    }
+}
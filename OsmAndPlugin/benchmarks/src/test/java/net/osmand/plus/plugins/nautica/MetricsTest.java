@@ -0,0 +1,57 @@
+package net.osmand.plus.plugins.nautica;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    @Test
+    void smallValuesHaveTheirOwnBucket() {
+        for (long v = 0; v < 16; v++) {
+            assertEquals(v, Metrics.Histogram.indexOf(v));
+            assertEquals(v, Metrics.Histogram.valueOf((int) v));
+        }
+    }
+
+    @Test
+    void bucketLowerBoundIsWithinSixteenthOfValue() {
+        long v = 16;
+        while (v > 0) {
+            for (long value : new long[]{v, v + v / 3, 2 * v - 1}) {
+                if (value < 0) continue;
+                int index = Metrics.Histogram.indexOf(value);
+                long lower = Metrics.Histogram.valueOf(index);
+                assertTrue(lower <= value, "lower bound above " + value);
+                assertTrue(value - lower <= value / 16, "bucket too wide at " + value);
+                assertEquals(index, Metrics.Histogram.indexOf(lower), "lower bound maps to another bucket at " + value);
+            }
+            v <<= 1;
+        }
+    }
+
+    @Test
+    void indexIsMonotonic() {
+        int previous = -1;
+        for (long v = 0; v < 1 << 20; v += 7) {
+            int index = Metrics.Histogram.indexOf(v);
+            assertTrue(index >= previous, "index decreased at " + v);
+            previous = index;
+        }
+    }
+
+    @Test
+    void recordsExtremesAndPercentiles() {
+        Metrics.Histogram histogram = new Metrics().histogram("test");
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(2, histogram.getCount());
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+
+        histogram = new Metrics().histogram("test");
+        for (long v = 1; v <= 1000; v++) histogram.record(v * 1000);
+        long p50 = histogram.getPercentile(50);
+        assertTrue(p50 <= 500_000 && p50 >= 500_000 * 15 / 16, "p50 " + p50);
+    }
+}
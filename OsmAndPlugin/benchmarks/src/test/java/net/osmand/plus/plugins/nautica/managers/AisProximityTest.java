@@ -0,0 +1,41 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AisProximityTest {
+
+    private static final List<Double> ZONES = Arrays.asList(1.0, 0.5);
+
+    @Test
+    void reportsEachBreachedZone() {
+        JSONObject own = position(43.0, 5.0);
+        JSONObject vessels = new JSONObject()
+                .put("near", new JSONObject().put("position", position(43.005, 5.0))) // 0.3 nm
+                .put("mid", new JSONObject().put("position", position(43.012, 5.0))) // 0.72 nm
+                .put("far", new JSONObject().put("position", position(43.1, 5.0)))
+                .put("unknown", new JSONObject().put("name", "no position"));
+        List<String> alerts = new ArrayList<>();
+        int breaches = AisProximity.scan(own, vessels, ZONES, (mmsi, distance) -> alerts.add(mmsi));
+        assertEquals(3, breaches);
+        alerts.sort(null);
+        assertEquals(Arrays.asList("mid", "near", "near"), alerts);
+    }
+
+    @Test
+    void noOwnFixReportsNothing() {
+        JSONObject vessels = new JSONObject().put("near", new JSONObject().put("position", position(43.0, 5.0)));
+        assertEquals(0, AisProximity.scan(null, vessels, ZONES, (mmsi, distance) -> { }));
+        assertEquals(0, AisProximity.scan(new JSONObject(), vessels, ZONES, (mmsi, distance) -> { }));
+    }
+
+    private static JSONObject position(double lat, double lon) {
+        return new JSONObject().put("latitude", lat).put("longitude", lon);
+    }
+}
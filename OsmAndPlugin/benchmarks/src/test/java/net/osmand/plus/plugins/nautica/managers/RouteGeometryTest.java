@@ -0,0 +1,47 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteGeometryTest {
+
+    @Test
+    void zeroLengthLegReturnsItsEndpoints() {
+        double[] point = {43.29, 5.36};
+        List<double[]> points = RouteGeometry.greatCirclePoints(point, point.clone());
+        assertEquals(2, points.size());
+        assertArrayEquals(point, points.get(0));
+        assertArrayEquals(point, points.get(1));
+    }
+
+    @Test
+    void shortLegHasNoNaNPoints() {
+        List<double[]> points = RouteGeometry.greatCirclePoints(new double[]{43.29, 5.36}, new double[]{43.30, 5.37});
+        assertTrue(points.size() >= 2);
+        for (double[] p : points) {
+            assertFalse(Double.isNaN(p[0]) || Double.isNaN(p[1]));
+        }
+    }
+
+    @Test
+    void longLegEndsAtItsEndpoints() {
+        double[] start = {38.7, -9.4};
+        double[] end = {32.3, -64.8};
+        List<double[]> points = RouteGeometry.greatCirclePoints(start, end);
+        assertArrayEquals(start, points.get(0), 1e-9);
+        assertArrayEquals(end, points.get(points.size() - 1), 1e-9);
+    }
+
+    @Test
+    void distanceNm() {
+        assertEquals(60.0, RouteGeometry.distanceNm(43.0, 5.0, 44.0, 5.0), 0.1);
+        assertEquals(0.0, RouteGeometry.distanceNm(43.0, 5.0, 43.0, 5.0), 1e-9);
+        assertEquals(Double.MAX_VALUE, RouteGeometry.distanceNm(43.0, 5.0, Double.NaN, 5.0));
+    }
+}
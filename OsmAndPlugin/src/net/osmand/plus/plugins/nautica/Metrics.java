@@ -0,0 +1,202 @@
+package net.osmand.plus.plugins.nautica;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lightweight in-process metrics: counters, gauges and latency histograms. Look metrics up once and
+ * keep the reference; recording is lock-free and allocation-free.
+ */
+public class Metrics {
+
+    public interface Gauge {
+        double getValue();
+    }
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    // Callback gauges are kept for the plugin lifetime; unregister anything tied to a view or activity
+    public void gauge(String name, Gauge gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public void removeGauge(String name) {
+        gauges.remove(name);
+    }
+
+    // Gauge holding a published value, so the registry keeps no reference to the publisher
+    public Value value(String name) {
+        Gauge gauge = gauges.computeIfAbsent(name, n -> new Value());
+        if (!(gauge instanceof Value)) {
+            throw new IllegalStateException("Gauge " + name + " is not a value gauge");
+        }
+        return (Value) gauge;
+    }
+
+    public void reset() {
+        for (Counter counter : counters.values()) counter.reset();
+        for (Histogram histogram : histograms.values()) histogram.reset();
+    }
+
+    // One line per metric, sorted by name
+    public List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Histogram> e : new TreeMap<>(histograms).entrySet()) {
+            Histogram h = e.getValue();
+            lines.add(String.format("%s n=%d avg=%.2fms p50=%.2fms p99=%.2fms max=%.2fms",
+                    e.getKey(), h.getCount(), h.getMean() / 1e6, h.getPercentile(50) / 1e6,
+                    h.getPercentile(99) / 1e6, h.getMax() / 1e6));
+        }
+        for (Map.Entry<String, Counter> e : new TreeMap<>(counters).entrySet()) {
+            lines.add(e.getKey() + " " + e.getValue().get());
+        }
+        for (Map.Entry<String, Gauge> e : new TreeMap<>(gauges).entrySet()) {
+            lines.add(e.getKey() + " " + e.getValue().getValue());
+        }
+        return lines;
+    }
+
+    public void dump(Writer writer) throws IOException {
+        for (String line : summary()) {
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+
+    public void dumpToFile(File file) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write("# Nautica metrics " + new Date() + "\n");
+            dump(writer);
+        }
+    }
+
+    public static class Value implements Gauge {
+        private volatile double value;
+
+        public void set(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double getValue() {
+            return value;
+        }
+    }
+
+    public static class Counter {
+        private final AtomicLong value = new AtomicLong();
+
+        public void increment() {
+            value.incrementAndGet();
+        }
+
+        public void add(long delta) {
+            value.addAndGet(delta);
+        }
+
+        public long get() {
+            return value.get();
+        }
+
+        void reset() {
+            value.set(0);
+        }
+    }
+
+    /**
+     * HDR-style log-linear histogram of nanosecond latencies. Each power of two is split into
+     * 16 sub-buckets, so recorded values are kept within ~6% over the full long range.
+     */
+    public static class Histogram {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        public void record(long nanos) {
+            if (nanos < 0) nanos = 0;
+            buckets.incrementAndGet(indexOf(nanos));
+            count.incrementAndGet();
+            sum.addAndGet(nanos);
+            long current;
+            while (nanos > (current = max.get())) {
+                if (max.compareAndSet(current, nanos)) break;
+            }
+        }
+
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public double getMean() {
+            long n = count.get();
+            return n == 0 ? 0 : (double) sum.get() / n;
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        // Lower bound of the bucket holding the given percentile
+        public long getPercentile(double percentile) {
+            long n = count.get();
+            if (n == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(n * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) return valueOf(i);
+            }
+            return max.get();
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0);
+            count.set(0);
+            sum.set(0);
+            max.set(0);
+        }
+
+        static int indexOf(long value) {
+            if (value < SUB_BUCKETS) return (int) value;
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        static long valueOf(int index) {
+            if (index < SUB_BUCKETS) return index;
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long sub = index % SUB_BUCKETS;
+            return (SUB_BUCKETS + sub) << (exponent - SUB_BUCKET_BITS);
+        }
+    }
+}
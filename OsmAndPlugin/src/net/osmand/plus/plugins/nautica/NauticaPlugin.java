@@ -1,6 +1,7 @@
 package net.osmand.plus.plugins.nautica;
 
 import android.content.Context;
+import android.util.Log;
 
 import net.osmand.plus.OsmandApplication;
 import net.osmand.plus.activities.MapActivity;
@@ -9,11 +10,23 @@ import net.osmand.plus.activities.actions.ApplicationModeActions;
 import net.osmand.plus.activities.actions.FavoritesAction;
 import net.osmand.plus.plugins.OsmandPlugin;
 import net.osmand.plus.plugins.OsmandPlugin.OnOsmandReadyListener;
+import net.osmand.plus.plugins.nautica.managers.Settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 public class NauticaPlugin extends OsmandPlugin implements OnOsmandReadyListener {
 
     private static NauticaPlugin instance;
 
+    private final Metrics metrics = new Metrics();
+    private final ExecutorService metricsExecutor = Executors.newSingleThreadExecutor(
+            r -> new Thread(r, "NauticaMetrics"));
+    private OsmandApplication app;
+
     public static NauticaPlugin getInstance() {
         return instance;
     }
@@ -22,9 +35,37 @@ public class NauticaPlugin extends OsmandPlugin implements OnOsmandReadyListener
         instance = this;
     }
 
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Writes the current metrics to nautical/metrics.txt on a background thread, then passes the
+    // file, or null on failure, to callback on that thread
+    public void dumpMetrics(Consumer<File> callback) {
+        metricsExecutor.execute(() -> callback.accept(writeMetrics()));
+    }
+
+    private File writeMetrics() {
+        if (app == null) return null;
+        File file = app.getAppPath("nautical/metrics.txt");
+        try {
+            File dir = file.getParentFile();
+            if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                throw new IOException("Cannot create " + dir);
+            }
+            metrics.dumpToFile(file);
+            return file;
+        } catch (IOException e) {
+            Log.e("Nautica", "Metrics dump failed: " + e);
+            return null;
+        }
+    }
+
     @Override
     public void onOsmandReady(OsmandApplication app) {
-        // Called when OsmAnd is ready
+        this.app = app;
+        // Load the preference snapshot before any layer or manager needs it
+        Settings.getInstance(app);
     }
 
     @Override
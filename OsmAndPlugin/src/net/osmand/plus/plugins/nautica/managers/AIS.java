@@ -7,6 +7,8 @@ import androidx.appcompat.app.AlertDialog;
 
 import net.osmand.plus.OsmandApplication;
 import net.osmand.plus.activities.MapActivity;
+import net.osmand.plus.plugins.nautica.Metrics;
+import net.osmand.plus.plugins.nautica.NauticaPlugin;
 import net.osmand.plus.search.core.SearchResult;
 import net.osmand.plus.search.core.SearchUICore;
 import net.osmand.plus.search.core.SearchProvider;
@@ -27,6 +29,10 @@ public class AIS {
     private final Context context;
     private final MapActivity mapActivity;
     private final SignalKClient signalKClient;
+    private final Settings settings;
+    private final Metrics.Histogram updateTime;
+    private final Metrics.Histogram alarmTime;
+    private final Metrics.Counter alertCount;
     private boolean useOnlineAIS = false;
 
     public AIS(OsmandApplication app, Context context, MapActivity mapActivity, signalKClient signalKClient) {
@@ -34,9 +40,15 @@ public class AIS {
         this.context = context;
         this.mapActivity = mapActivity;
         this.signalKClient = signalKClient;
+        this.settings = Settings.getInstance(app);
+        Metrics metrics = NauticaPlugin.getInstance().getMetrics();
+        this.updateTime = metrics.histogram("ais.update");
+        this.alarmTime = metrics.histogram("ais.alarms");
+        this.alertCount = metrics.counter("ais.alerts");
     }
 
     public void updateAISData() {
+        long start = System.nanoTime();
         JSONObject aisData = signalKClient.getCachedData("ais.vessels");
         if (aisData != null) {
             for (String mmsi : aisData.keySet()) {
@@ -46,13 +58,14 @@ public class AIS {
                 }
             }
         }
+        updateTime.recordSince(start);
     }
 
     public void initializeAISSource() {
-        useOnlineAIS = app.getSettings().getCustomPreferenceBoolean("ais_online_enabled", false);
+        Settings.Snapshot prefs = settings.get();
+        useOnlineAIS = prefs.aisOnlineEnabled;
         if (useOnlineAIS) {
-            String config = app.getSettings().getCustomPreferenceString("ais_online_config", "");
-            startOnlineAISFetch(config);
+            startOnlineAISFetch(prefs.aisOnlineConfig);
         } else {
             signalKClient.connectAIS();
         }
@@ -78,34 +91,16 @@ public class AIS {
     }
 
     public void checkProximityAlarms() {
-        if (!app.getSettings().getCustomPreferenceBoolean("ais_proximity_enabled", true)) return;
-        String zones = app.getSettings().getCustomPreferenceString("ais_proximity_zones", "1nm,0.5nm");
-        JSONObject vessels = signalKClient.getVessels();
-        for (String mmsi : vessels.keySet()) {
-            JSONObject vessel = vessels.optJSONObject(mmsi);
-            double distance = calculateDistance(vessel.optJSONObject("position"));
-            for (String zone : zones.split(",")) {
-                if (distance < parseDistance(zone)) {
-                    triggerAlert(mmsi, distance);
-                }
-            }
-        }
-    }
-
-    private double calculateDistance(JSONObject position) {
-        // Dummy logic for now
-        return 0.0;
-    }
-
-    private double parseDistance(String zone) {
-        try {
-            return Double.parseDouble(zone.replace("nm", "").trim());
-        } catch (Exception e) {
-            return 1.0;
-        }
+        Settings.Snapshot prefs = settings.get();
+        if (!prefs.aisProximityEnabled) return;
+        long start = System.nanoTime();
+        AisProximity.scan(signalKClient.getCachedData("navigation.position"), signalKClient.getVessels(),
+                prefs.getAisProximityZones(), this::triggerAlert);
+        alarmTime.recordSince(start);
     }
 
     private void triggerAlert(String mmsi, double distance) {
+        alertCount.increment();
         Log.w("Nautica", "Proximity alert for " + mmsi + " at " + distance + " nm");
     }
 
@@ -115,18 +110,18 @@ public class AIS {
     }
 
     public void registerSearchProvider() {
-        if (!app.getSettings().getCustomPreferenceBoolean("ais_search_enabled", true)) return;
+        if (!settings.get().aisSearchEnabled) return;
         app.getSearchUICore().registerCategory("AIS Targets", new AISSearchProvider());
     }
 
     public void toggleAISLabels() {
-        if (!app.getSettings().getCustomPreferenceBoolean("ais_labels_enabled", true)) return;
-        String fields = app.getSettings().getCustomPreferenceString("ais_label_fields", "mmsi,name");
-        drawAISLabels(fields);
+        Settings.Snapshot prefs = settings.get();
+        if (!prefs.aisLabelsEnabled) return;
+        drawAISLabels(prefs.getAisLabelFields());
     }
 
     public void showAISTargetPopup(AISTarget target) {
-        if (!app.getSettings().getCustomPreferenceBoolean("ais_popup_enabled", true)) return;
+        if (!settings.get().aisPopupEnabled) return;
         new AlertDialog.Builder(context)
             .setTitle("AIS Target")
             .setMessage(formatTargetInfo(target))
@@ -134,7 +129,7 @@ public class AIS {
             .show();
     }
 
-    private void drawAISLabels(String fields) {
+    private void drawAISLabels(List<String> fields) {
         // Drawing logic placeholder
     }
 
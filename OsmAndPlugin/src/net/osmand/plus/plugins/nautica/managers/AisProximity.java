@@ -0,0 +1,41 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import org.json.JSONObject;
+
+import java.util.Iterator;
+import java.util.List;
+
+// AIS proximity alarm scan over the SignalK vessel tree, called by AIS on every alarm cycle
+public final class AisProximity {
+
+    public interface Alert {
+        void onZoneBreached(String mmsi, double distanceNm);
+    }
+
+    private AisProximity() {
+    }
+
+    // Reports every zone (nm) each vessel is inside of and returns the number of reports. Without an
+    // own fix, or for a vessel without a position, the distance is unknown and nothing is reported.
+    public static int scan(JSONObject own, JSONObject vessels, List<Double> zones, Alert alert) {
+        if (own == null || vessels == null) return 0;
+        double ownLat = own.optDouble("latitude");
+        double ownLon = own.optDouble("longitude");
+        int breaches = 0;
+        for (Iterator<String> it = vessels.keys(); it.hasNext(); ) {
+            String mmsi = it.next();
+            JSONObject vessel = vessels.optJSONObject(mmsi);
+            JSONObject position = vessel != null ? vessel.optJSONObject("position") : null;
+            if (position == null) continue;
+            double distance = RouteGeometry.distanceNm(ownLat, ownLon,
+                    position.optDouble("latitude"), position.optDouble("longitude"));
+            for (int i = 0, n = zones.size(); i < n; i++) {
+                if (distance < zones.get(i)) {
+                    breaches++;
+                    alert.onZoneBreached(mmsi, distance);
+                }
+            }
+        }
+        return breaches;
+    }
+}
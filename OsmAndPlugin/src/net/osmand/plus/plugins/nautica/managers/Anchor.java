@@ -0,0 +1,650 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import android.app.AlarmManager;
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.ServiceInfo;
+import android.media.AudioAttributes;
+import android.media.AudioManager;
+import android.media.RingtoneManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.IBinder;
+import android.os.SystemClock;
+import android.util.Log;
+
+import net.osmand.plus.OsmandApplication;
+
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class Anchor {
+
+    public interface AnchorAlarmListener {
+        void onAnchorDragging(double distanceMeters, double[] position);
+
+        void onAnchorHolding();
+
+        // No new fix for ageMs, the watch cannot tell whether the anchor holds
+        void onPositionLost(long ageMs);
+    }
+
+    // Sampling: fast near the boundary or in strong wind, slow when swinging quietly
+    private static final long FAST_INTERVAL_MS = 1000;
+    private static final long SLOW_INTERVAL_MS = 15000;
+    private static final double NEAR_BOUNDARY_FRACTION = 0.25; // of the fence size
+    private static final double STRONG_WIND = 10.0; // m/s apparent, ~20 kn
+    private static final long STALE_FIX_MS = 60000;
+
+    // Filtering
+    private static final int MEDIAN_WINDOW = 5;
+    private static final double PROCESS_NOISE = 0.25; // m^2/s, boat swinging at ~0.5 m/s
+    private static final double MEASUREMENT_NOISE = 25.0; // m^2, ~5 m GPS error
+    private static final int DRAG_CONFIRM_FIXES = 3;
+
+    private static final int TRACK_CAPACITY = 4096;
+    private static final long TRACK_INTERVAL_MS = 15000; // 4096 points cover about 17 hours
+    private static final double METERS_PER_DEG_LAT = 111111.0;
+
+    private static final String ACTION_SAMPLE = "net.osmand.plus.plugins.nautica.ANCHOR_SAMPLE.";
+    private static final AtomicInteger WATCH_IDS = new AtomicInteger();
+
+    // The one watch running in this process. WatchService reads it so a restarted or stray service
+    // never claims a watch that isn't running, and a new watch replaces one left by a discarded Anchor
+    private static volatile Watch activeWatch;
+
+    private final OsmandApplication app;
+    private final SignalKClient signalKClient;
+    private final List<AnchorAlarmListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Watch watch;
+
+    public Anchor(OsmandApplication app, SignalKClient signalKClient) {
+        this.app = app;
+        this.signalKClient = signalKClient;
+    }
+
+    public void addListener(AnchorAlarmListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(AnchorAlarmListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Drops the anchor at the current position with the configured swing radius
+    public boolean dropAnchor() {
+        double[] position = readPosition();
+        if (position == null) {
+            Log.w("Nautica", "Anchor watch: no position available");
+            return false;
+        }
+        int radiusMeters = Settings.getInstance(app).get().anchorRadius;
+        startWatch(position[0], position[1], radiusMeters);
+        return true;
+    }
+
+    public synchronized void startWatch(double latitude, double longitude, double radiusMeters) {
+        start(Fence.circle(latitude, longitude, radiusMeters));
+    }
+
+    public synchronized void startWatch(double latitude, double longitude, List<double[]> polygon) {
+        if (polygon.size() < 3) {
+            throw new IllegalArgumentException("Anchor polygon needs at least 3 vertices");
+        }
+        start(Fence.polygon(latitude, longitude, polygon));
+    }
+
+    public synchronized void stopWatch() {
+        Watch current = watch;
+        if (current == null) return;
+        watch = null;
+        if (activeWatch == current) activeWatch = null;
+        current.stop();
+        WatchService.clearAlarm(app);
+        app.stopService(new Intent(app, WatchService.class));
+        Log.i("Nautica", "Anchor watch stopped");
+    }
+
+    public boolean isWatching() {
+        return watch != null;
+    }
+
+    public boolean isDragging() {
+        Watch current = watch;
+        return current != null && current.dragging;
+    }
+
+    public long getCurrentIntervalMs() {
+        Watch current = watch;
+        return current != null ? current.intervalMs : 0;
+    }
+
+    public double[] getAnchorPosition() {
+        Watch current = watch;
+        return current != null ? new double[]{current.fence.lat, current.fence.lon} : null;
+    }
+
+    // Swing track as lat/lon pairs, oldest first
+    public List<double[]> getTrack() {
+        Watch current = watch;
+        return current != null ? current.track.toLatLon(current.fence) : new ArrayList<>();
+    }
+
+    private void start(Fence fence) {
+        stopWatch();
+        stopActiveWatch();
+        Watch next = new Watch(fence);
+        watch = next;
+        activeWatch = next;
+        Intent intent = new Intent(app, WatchService.class);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            app.startForegroundService(intent);
+        } else {
+            app.startService(intent);
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && !WatchService.manager(app).areNotificationsEnabled()) {
+            Log.w("Nautica", "Anchor watch: notifications are disabled, drag alarms will not be shown");
+        }
+        next.start();
+        Log.i("Nautica", "Anchor watch started at " + fence.lat + ", " + fence.lon);
+    }
+
+    static void stopActiveWatch() {
+        Watch current = activeWatch;
+        if (current != null) current.anchor().stopWatch();
+    }
+
+    private void notifyDragging(Watch source, double distance, double[] position) {
+        if (source != watch) return;
+        Log.w("Nautica", "Anchor dragging, " + Math.round(distance) + " m from anchor");
+        publishState(source.fence, "dragging", distance);
+        String text = Math.round(distance) + " m from anchor";
+        WatchService.showAlarm(app, "Anchor dragging", text);
+        WatchService.showStatus(app, "Anchor dragging, " + text);
+        for (AnchorAlarmListener listener : listeners) {
+            listener.onAnchorDragging(distance, position);
+        }
+    }
+
+    private void notifyHolding(Watch source, double distance) {
+        if (source != watch) return;
+        publishState(source.fence, "holding", distance);
+        WatchService.clearAlarm(app);
+        WatchService.showStatus(app, "Anchor holding, " + Math.round(distance) + " m from anchor");
+        for (AnchorAlarmListener listener : listeners) {
+            listener.onAnchorHolding();
+        }
+    }
+
+    private void notifyPositionLost(Watch source, long ageMs) {
+        if (source != watch) return;
+        Log.w("Nautica", "Anchor watch: no position fix for " + ageMs / 1000 + " s");
+        publishState(source.fence, "no_fix", Double.NaN);
+        WatchService.showAlarm(app, "Anchor watch: no position", "No fix for " + ageMs / 1000 + " s");
+        WatchService.showStatus(app, "Anchor watch: no position fix");
+        for (AnchorAlarmListener listener : listeners) {
+            listener.onPositionLost(ageMs);
+        }
+    }
+
+    private double[] readPosition() {
+        return toPosition(signalKClient.getCachedData("navigation.position"));
+    }
+
+    private static double[] toPosition(JSONObject data) {
+        if (data == null || !data.has("latitude") || !data.has("longitude")) return null;
+        return new double[]{data.optDouble("latitude"), data.optDouble("longitude")};
+    }
+
+    // The SignalK timestamp identifies a new fix; fall back to the coordinates when it is absent
+    private static String fixId(JSONObject data, double[] position) {
+        String timestamp = data.optString("timestamp", "");
+        return timestamp.isEmpty() ? position[0] + "," + position[1] : timestamp;
+    }
+
+    private double readWindSpeed() {
+        JSONObject wind = signalKClient.getCachedData("environment.wind.speedApparent");
+        return wind != null ? wind.optDouble("value", 0.0) : 0.0;
+    }
+
+    private void publishState(Fence fence, String state, double distance) {
+        try {
+            JSONObject data = new JSONObject()
+                    .put("state", state)
+                    .put("dragging", "dragging".equals(state))
+                    .put("latitude", fence.lat)
+                    .put("longitude", fence.lon);
+            if (!Double.isNaN(distance)) data.put("distance", distance);
+            signalKClient.updateData("navigation.anchor", data);
+        } catch (Exception e) {
+            Log.e("Nautica", "Anchor state publish failed: " + e);
+        }
+    }
+
+    /**
+     * One anchor watch: its own thread, fence, filter state and track. A restart creates a new
+     * Watch, so a sample still running on the old thread never sees the new fence or state.
+     * Samples are driven by exact alarms, which also fire in deep sleep, so the CPU only wakes
+     * for the sample itself; the alarm broadcast holds a wake lock until onReceive returns.
+     */
+    private class Watch implements Runnable {
+        final Fence fence;
+        final SwingTrack track = new SwingTrack(TRACK_CAPACITY);
+        private final HandlerThread thread = new HandlerThread("NauticaAnchorWatch",
+                android.os.Process.THREAD_PRIORITY_BACKGROUND);
+        private final String action = ACTION_SAMPLE + WATCH_IDS.incrementAndGet();
+        private final AlarmManager alarmManager = (AlarmManager) app.getSystemService(Context.ALARM_SERVICE);
+        private final BroadcastReceiver receiver = new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                run();
+            }
+        };
+        private PendingIntent alarm;
+        private Handler handler;
+        private volatile boolean active;
+        volatile boolean dragging;
+        volatile long intervalMs = FAST_INTERVAL_MS;
+
+        // Filter state, only touched on this watch's thread
+        private final double[] medianX = new double[MEDIAN_WINDOW];
+        private final double[] medianY = new double[MEDIAN_WINDOW];
+        private final double[] medianScratch = new double[MEDIAN_WINDOW];
+        private int medianCount;
+        private int medianIndex;
+        private final Kalman kalmanX = new Kalman();
+        private final Kalman kalmanY = new Kalman();
+        private String lastFixId;
+        private long lastFixTime;
+        private long lastSampleTime;
+        private long lastTrackTime;
+        private int outsideCount;
+        private boolean positionLost;
+
+        Watch(Fence fence) {
+            this.fence = fence;
+        }
+
+        Anchor anchor() {
+            return Anchor.this;
+        }
+
+        void start() {
+            thread.start();
+            handler = new Handler(thread.getLooper());
+            IntentFilter filter = new IntentFilter(action);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+                app.registerReceiver(receiver, filter, null, handler, Context.RECEIVER_NOT_EXPORTED);
+            } else {
+                app.registerReceiver(receiver, filter, null, handler);
+            }
+            alarm = PendingIntent.getBroadcast(app, 0, new Intent(action).setPackage(app.getPackageName()),
+                    PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+            active = true;
+            lastFixTime = SystemClock.elapsedRealtime();
+            handler.post(this);
+        }
+
+        void stop() {
+            active = false;
+            alarmManager.cancel(alarm);
+            alarm.cancel();
+            app.unregisterReceiver(receiver);
+            thread.quitSafely();
+        }
+
+        @Override
+        public void run() {
+            if (!active) return;
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                Log.e("Nautica", "Anchor watch sample failed: " + e);
+                intervalMs = FAST_INTERVAL_MS;
+            }
+            if (active) {
+                schedule(intervalMs);
+            }
+        }
+
+        private void schedule(long delayMs) {
+            long at = SystemClock.elapsedRealtime() + delayMs;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && !alarmManager.canScheduleExactAlarms()) {
+                // Exact alarm access revoked; still fires in idle, but the system may defer it
+                alarmManager.setAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, at, alarm);
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                alarmManager.setExactAndAllowWhileIdle(AlarmManager.ELAPSED_REALTIME_WAKEUP, at, alarm);
+            } else {
+                alarmManager.setExact(AlarmManager.ELAPSED_REALTIME_WAKEUP, at, alarm);
+            }
+        }
+
+        private void sample() {
+            long now = SystemClock.elapsedRealtime();
+            JSONObject data = signalKClient.getCachedData("navigation.position");
+            double[] position = toPosition(data);
+            String fixId = position != null ? fixId(data, position) : null;
+            if (position == null || fixId.equals(lastFixId)) {
+                checkStale(now);
+                intervalMs = FAST_INTERVAL_MS;
+                return;
+            }
+            lastFixId = fixId;
+            lastFixTime = now;
+            boolean recovered = positionLost;
+            if (recovered) {
+                positionLost = false;
+                Log.i("Nautica", "Anchor watch: position fix recovered");
+            }
+
+            double x = (position[1] - fence.lon) * fence.metersPerDegLon;
+            double y = (position[0] - fence.lat) * METERS_PER_DEG_LAT;
+            medianX[medianIndex] = x;
+            medianY[medianIndex] = y;
+            medianIndex = (medianIndex + 1) % MEDIAN_WINDOW;
+            if (medianCount < MEDIAN_WINDOW) medianCount++;
+
+            double dt = lastSampleTime == 0 ? 0 : (now - lastSampleTime) / 1000.0;
+            lastSampleTime = now;
+            double fx = kalmanX.update(median(medianX), dt);
+            double fy = kalmanY.update(median(medianY), dt);
+            if (lastTrackTime == 0 || now - lastTrackTime >= TRACK_INTERVAL_MS) {
+                lastTrackTime = now;
+                track.add(fx, fy, System.currentTimeMillis());
+            }
+
+            double margin = fence.margin(fx, fy);
+            updateAlarm(margin, fx, fy, recovered);
+            intervalMs = nextInterval(margin, readWindSpeed());
+        }
+
+        private void checkStale(long now) {
+            long age = now - lastFixTime;
+            if (!positionLost && age >= STALE_FIX_MS) {
+                positionLost = true;
+                notifyPositionLost(this, age);
+            }
+        }
+
+        private double median(double[] window) {
+            System.arraycopy(window, 0, medianScratch, 0, medianCount);
+            Arrays.sort(medianScratch, 0, medianCount);
+            return medianScratch[medianCount / 2];
+        }
+
+        // Notifies on every state change, and after a lost fix so the no_fix state is replaced
+        private void updateAlarm(double margin, double x, double y, boolean recovered) {
+            if (margin < 0) {
+                outsideCount++;
+            } else {
+                outsideCount = 0;
+            }
+            boolean wasDragging = dragging;
+            if (!dragging && outsideCount >= DRAG_CONFIRM_FIXES) {
+                dragging = true;
+            } else if (dragging && outsideCount == 0) {
+                dragging = false;
+            }
+            double distance = Math.hypot(x, y);
+            if (dragging && (!wasDragging || recovered)) {
+                notifyDragging(this, distance, new double[]{
+                        fence.lat + y / METERS_PER_DEG_LAT,
+                        fence.lon + x / fence.metersPerDegLon
+                });
+            } else if (!dragging && (wasDragging || recovered)) {
+                notifyHolding(this, distance);
+            }
+        }
+
+        private long nextInterval(double margin, double windSpeed) {
+            if (dragging || margin <= 0 || windSpeed >= STRONG_WIND || fence.size <= 0) {
+                return FAST_INTERVAL_MS;
+            }
+            double proximity = margin / fence.size;
+            if (proximity <= NEAR_BOUNDARY_FRACTION) {
+                return FAST_INTERVAL_MS;
+            }
+            double slack = Math.min(1.0, (proximity - NEAR_BOUNDARY_FRACTION) / (1.0 - NEAR_BOUNDARY_FRACTION));
+            double calm = 1.0 - Math.max(0.0, windSpeed) / STRONG_WIND;
+            return FAST_INTERVAL_MS + (long) ((SLOW_INTERVAL_MS - FAST_INTERVAL_MS) * slack * calm);
+        }
+    }
+
+    // Immutable geofence in local meters (x east, y north) around the anchor position
+    private static final class Fence {
+        final double lat;
+        final double lon;
+        final double metersPerDegLon;
+        final double radius; // circle fence, 0 when a polygon is used
+        final double[] polygonX;
+        final double[] polygonY;
+        final double size;
+
+        private Fence(double lat, double lon, double radius, double[] polygonX, double[] polygonY, double size) {
+            this.lat = lat;
+            this.lon = lon;
+            this.metersPerDegLon = METERS_PER_DEG_LAT * Math.cos(Math.toRadians(lat));
+            this.radius = radius;
+            this.polygonX = polygonX;
+            this.polygonY = polygonY;
+            this.size = size;
+        }
+
+        static Fence circle(double lat, double lon, double radius) {
+            return new Fence(lat, lon, radius, null, null, radius);
+        }
+
+        static Fence polygon(double lat, double lon, List<double[]> polygon) {
+            double metersPerDegLon = METERS_PER_DEG_LAT * Math.cos(Math.toRadians(lat));
+            double[] xs = new double[polygon.size()];
+            double[] ys = new double[polygon.size()];
+            double size = 0;
+            for (int i = 0; i < polygon.size(); i++) {
+                double[] pt = polygon.get(i);
+                xs[i] = (pt[1] - lon) * metersPerDegLon;
+                ys[i] = (pt[0] - lat) * METERS_PER_DEG_LAT;
+                size = Math.max(size, Math.hypot(xs[i], ys[i]));
+            }
+            return new Fence(lat, lon, 0, xs, ys, size);
+        }
+
+        // Distance to the fence in meters, positive inside and negative outside
+        double margin(double x, double y) {
+            if (polygonX == null) {
+                return radius - Math.hypot(x, y);
+            }
+            boolean inside = false;
+            double minDistance = Double.MAX_VALUE;
+            int n = polygonX.length;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double xi = polygonX[i], yi = polygonY[i];
+                double xj = polygonX[j], yj = polygonY[j];
+                if ((yi > y) != (yj > y) && x < (xj - xi) * (y - yi) / (yj - yi) + xi) {
+                    inside = !inside;
+                }
+                minDistance = Math.min(minDistance, segmentDistance(x, y, xi, yi, xj, yj));
+            }
+            return inside ? minDistance : -minDistance;
+        }
+
+        private static double segmentDistance(double px, double py, double ax, double ay, double bx, double by) {
+            double dx = bx - ax;
+            double dy = by - ay;
+            double lengthSq = dx * dx + dy * dy;
+            double t = lengthSq == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+            t = Math.max(0, Math.min(1, t));
+            return Math.hypot(px - (ax + t * dx), py - (ay + t * dy));
+        }
+    }
+
+    // Constant-position Kalman filter for one axis
+    private static class Kalman {
+        private double estimate;
+        private double variance = -1;
+
+        double update(double measurement, double dt) {
+            if (variance < 0) {
+                estimate = measurement;
+                variance = MEASUREMENT_NOISE;
+                return estimate;
+            }
+            variance += PROCESS_NOISE * dt;
+            double gain = variance / (variance + MEASUREMENT_NOISE);
+            estimate += gain * (measurement - estimate);
+            variance *= 1 - gain;
+            return estimate;
+        }
+    }
+
+    // Fixed-size ring buffer of filtered positions in local meters
+    private static class SwingTrack {
+        private final float[] x;
+        private final float[] y;
+        private final long[] time;
+        private int head;
+        private int size;
+
+        SwingTrack(int capacity) {
+            x = new float[capacity];
+            y = new float[capacity];
+            time = new long[capacity];
+        }
+
+        synchronized void add(double px, double py, long timestamp) {
+            x[head] = (float) px;
+            y[head] = (float) py;
+            time[head] = timestamp;
+            head = (head + 1) % x.length;
+            if (size < x.length) size++;
+        }
+
+        synchronized List<double[]> toLatLon(Fence fence) {
+            List<double[]> points = new ArrayList<>(size);
+            int start = (head - size + x.length) % x.length;
+            for (int i = 0; i < size; i++) {
+                int idx = (start + i) % x.length;
+                points.add(new double[]{
+                        fence.lat + y[idx] / METERS_PER_DEG_LAT,
+                        fence.lon + x[idx] / fence.metersPerDegLon
+                });
+            }
+            return points;
+        }
+    }
+
+    /**
+     * Keeps the process in the foreground while the anchor watch is running. Not sticky: after the
+     * process is killed there is no Anchor left to watch, so the service must not come back and
+     * claim otherwise. Also owns the watch notifications, so alarms reach the user without any UI.
+     */
+    public static class WatchService extends Service {
+        private static final String CHANNEL_ID = "nautica_anchor_watch";
+        private static final String ALARM_CHANNEL_ID = "nautica_anchor_alarm";
+        private static final int NOTIFICATION_ID = 4711;
+        private static final int ALARM_NOTIFICATION_ID = 4712;
+
+        @Override
+        public int onStartCommand(Intent intent, int flags, int startId) {
+            boolean running = activeWatch != null;
+            // startForegroundService requires startForeground even when we stop right away
+            startForeground(buildNotification(this, running ? "Anchor watch active" : "Anchor watch stopped"));
+            if (!running) {
+                stopForeground(true);
+                stopSelf();
+            }
+            return START_NOT_STICKY;
+        }
+
+        private void startForeground(Notification notification) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+                startForeground(NOTIFICATION_ID, notification, ServiceInfo.FOREGROUND_SERVICE_TYPE_SPECIAL_USE);
+            } else {
+                startForeground(NOTIFICATION_ID, notification);
+            }
+        }
+
+        // Replaces the text of the ongoing foreground notification
+        static void showStatus(Context context, String text) {
+            manager(context).notify(NOTIFICATION_ID, buildNotification(context, text));
+        }
+
+        // Insistent alarm notification that sounds on the alarm stream until dismissed or cleared
+        static void showAlarm(Context context, String title, String text) {
+            NotificationManager manager = manager(context);
+            Notification.Builder builder;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                NotificationChannel channel = new NotificationChannel(
+                        ALARM_CHANNEL_ID, "Anchor alarm", NotificationManager.IMPORTANCE_HIGH);
+                channel.setSound(RingtoneManager.getDefaultUri(RingtoneManager.TYPE_ALARM),
+                        new AudioAttributes.Builder().setUsage(AudioAttributes.USAGE_ALARM).build());
+                channel.enableVibration(true);
+                manager.createNotificationChannel(channel);
+                builder = new Notification.Builder(context, ALARM_CHANNEL_ID);
+            } else {
+                builder = new Notification.Builder(context)
+                        .setPriority(Notification.PRIORITY_MAX)
+                        .setSound(RingtoneManager.getDefaultUri(RingtoneManager.TYPE_ALARM), AudioManager.STREAM_ALARM)
+                        .setDefaults(Notification.DEFAULT_VIBRATE);
+            }
+            Notification notification = builder
+                    .setContentTitle(title)
+                    .setContentText(text)
+                    .setSmallIcon(android.R.drawable.ic_dialog_alert)
+                    .setCategory(Notification.CATEGORY_ALARM)
+                    .build();
+            notification.flags |= Notification.FLAG_INSISTENT;
+            manager.notify(ALARM_NOTIFICATION_ID, notification);
+        }
+
+        static void clearAlarm(Context context) {
+            manager(context).cancel(ALARM_NOTIFICATION_ID);
+        }
+
+        static NotificationManager manager(Context context) {
+            return (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        }
+
+        private static Notification buildNotification(Context context, String text) {
+            Notification.Builder builder;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                manager(context).createNotificationChannel(new NotificationChannel(
+                        CHANNEL_ID, "Anchor watch", NotificationManager.IMPORTANCE_LOW));
+                builder = new Notification.Builder(context, CHANNEL_ID);
+            } else {
+                builder = new Notification.Builder(context);
+            }
+            return builder
+                    .setContentTitle("Nautica")
+                    .setContentText(text)
+                    .setSmallIcon(android.R.drawable.ic_menu_mylocation)
+                    .setOngoing(true)
+                    .build();
+        }
+
+        // Stopped by the system or the user from the task manager: end the watch with it
+        @Override
+        public void onDestroy() {
+            stopActiveWatch();
+            super.onDestroy();
+        }
+
+        @Override
+        public IBinder onBind(Intent intent) {
+            return null;
+        }
+    }
+}
@@ -13,8 +13,9 @@ import net.osmand.data.GpxFile;
 import net.osmand.data.GpxTrack;
 import net.osmand.plus.OsmandApplication;
 import net.osmand.plus.gpx.GpxLayer;
+import net.osmand.plus.plugins.nautica.Metrics;
+import net.osmand.plus.plugins.nautica.NauticaPlugin;
 import net.osmand.plus.render.OsmandRenderer;
-import net.osmand.plus.settings.backend.OsmandSettings;
 import net.osmand.plus.views.OsmandMapLayer;
 import net.osmand.plus.views.OsmandMapView;
 import net.osmand.plus.views.layers.ContextMenuLayer;
@@ -40,7 +41,7 @@ public class NauticaMapView extends OsmandMapLayer {
     private static final int MODE_NAUTICA_HEAD_UP = 3; // Nautica Head-up
 
     private final OsmandApplication app;
-    private final OsmandSettings settings;
+    private final Settings settings;
     private final SignalKClient signalKClient;
     private final NauticaWidgetManager widgetManager;
     private final NauticaWeatherManager weatherManager;
@@ -59,6 +60,19 @@ public class NauticaMapView extends OsmandMapLayer {
     private final Paint aisPaint = createAisPaint();
     private final Paint labelPaint = createLabelPaint();
 
+    // Metrics
+    private final Metrics metrics;
+    private final Metrics.Histogram drawTime;
+    private final Metrics.Histogram drawWeatherTime;
+    private final Metrics.Histogram drawMobTime;
+    private final Metrics.Histogram drawSartTime;
+    private final Metrics.Histogram drawAisTime;
+    private final Metrics.Histogram gpxLoadTime;
+    private final Metrics.Histogram routeTime;
+    private final Metrics.Value aisTargetCount;
+    private List<String> overlayLines = new ArrayList<>();
+    private long overlayUpdated;
+
     // Split screen
     private OsmandMapView primaryMapView;
     private OsmandMapView secondaryMapView;
@@ -71,11 +85,20 @@ public class NauticaMapView extends OsmandMapLayer {
     public NauticaMapView(OsmandApplication app, SignalKClient signalKClient,
                           NauticaWidgetManager widgetManager, NauticaWeatherManager weatherManager) {
         this.app = app;
-        this.settings = app.getSettings();
+        this.settings = Settings.getInstance(app);
         this.signalKClient = signalKClient;
         this.widgetManager = widgetManager;
         this.weatherManager = weatherManager;
         this.context = app.getApplicationContext();
+        this.metrics = NauticaPlugin.getInstance().getMetrics();
+        this.drawTime = metrics.histogram("draw.total");
+        this.drawWeatherTime = metrics.histogram("draw.weather");
+        this.drawMobTime = metrics.histogram("draw.mob");
+        this.drawSartTime = metrics.histogram("draw.sart");
+        this.drawAisTime = metrics.histogram("draw.ais");
+        this.gpxLoadTime = metrics.histogram("gpx.load");
+        this.routeTime = metrics.histogram("route.compute");
+        this.aisTargetCount = metrics.value("ais.targets");
     }
 
     // Paint initialization
@@ -135,6 +158,14 @@ public class NauticaMapView extends OsmandMapLayer {
                             R.drawable.ic_action_head_up, // Assumes icon
                             () -> setOrientationMode(MODE_NAUTICA_HEAD_UP)
                     ));
+                    // Debug action, offered together with the metrics overlay
+                    if (settings.get().debugMetricsOverlay) {
+                        adapter.addItem(new ContextMenuLayer.MenuItem(
+                                app.getString(R.string.nautica_dump_metrics),
+                                android.R.drawable.ic_menu_save,
+                                this::dumpMetrics
+                        ));
+                    }
                 });
             } else {
                 LOGGER.warning("ContextMenuLayer not available for compass menu");
@@ -155,8 +186,18 @@ public class NauticaMapView extends OsmandMapLayer {
         }
     }
 
+    private void dumpMetrics() {
+        NauticaPlugin.getInstance().dumpMetrics(file -> app.runInUIThread(() -> {
+            if (file != null) {
+                app.showToastMessage("Metrics written to " + file.getAbsolutePath());
+            } else {
+                app.showToastMessage("Metrics dump failed");
+            }
+        }));
+    }
+
     private void initGpxLayer(OsmandMapView mapView) {
-        if (!settings.getCustomPreferenceBoolean("gpx_enabled", true)) return;
+        if (!settings.get().gpxEnabled) return;
         gpxLayer = new GpxLayer(app);
         gpxLayer.setTrackColor(Color.BLUE);
         gpxLayer.setPointColor(Color.GREEN);
@@ -168,10 +209,7 @@ public class NauticaMapView extends OsmandMapLayer {
     // Chart Handling (Q1, Q22(a))
     private void renderChart() {
         OsmandRenderer renderer = app.getRenderer();
-        String nauticalPath = settings.getCustomPreferenceString(
-                "chart_directory",
-                app.getAppPath("nautical").getAbsolutePath()
-        );
+        String nauticalPath = settings.get().chartDirectory;
         renderer.addVectorLayer("nautical_s57", getS57Data(nauticalPath + "/s57"));
         renderer.addRasterLayer("nautical_bsb", getBSBData(nauticalPath + "/bsb"));
         renderer.addRasterLayer("nautical_mbtiles", nauticalPath + "/mbtiles/nautical.mbtiles");
@@ -238,16 +276,20 @@ public class NauticaMapView extends OsmandMapLayer {
         File[] files = dir.listFiles((d, name) -> name.endsWith(".gpx"));
         if (files == null) return;
         for (File file : files) {
+            long start = System.nanoTime();
             GpxFile gpx = GpxFile.loadFromFile(file);
             if (gpx != null) gpxLayer.addTrack(gpx);
+            gpxLoadTime.recordSince(start);
         }
     }
 
     public void importGpx(File file) {
-        if (!settings.getCustomPreferenceBoolean("gpx_enabled", true) || gpxLayer == null) return;
+        if (!settings.get().gpxEnabled || gpxLayer == null) return;
+        long start = System.nanoTime();
         GpxFile gpx = GpxFile.loadFromFile(file);
         if (gpx != null) {
             gpxLayer.addTrack(gpx);
+            gpxLoadTime.recordSince(start);
             File dest = new File(app.getAppPath("nautical/gpx/" + file.getName()).getAbsolutePath());
             if (!file.renameTo(dest)) {
                 LOGGER.warning("Failed to move GPX file to " + dest.getAbsolutePath());
@@ -257,7 +299,7 @@ public class NauticaMapView extends OsmandMapLayer {
     }
 
     public void exportGpx(String name, List<double[]> waypoints, List<double[]> route) {
-        if (!settings.getCustomPreferenceBoolean("gpx_enabled", true) || gpxLayer == null) return;
+        if (!settings.get().gpxEnabled || gpxLayer == null) return;
         GpxFile gpx = new GpxFile();
         for (double[] pt : waypoints) {
             gpx.addWaypoint(pt[0], pt[1], "WPT_" + System.currentTimeMillis());
@@ -310,7 +352,7 @@ public class NauticaMapView extends OsmandMapLayer {
             secondaryMapView.setMapLayer(this);
             mapContainer.addView(secondaryMapView, params);
 
-            if (settings.getCustomPreferenceBoolean("split_screen_sync", false)) {
+            if (settings.get().splitScreenSync) {
                 syncMapViews();
             }
         } else {
@@ -335,7 +377,7 @@ public class NauticaMapView extends OsmandMapLayer {
         secondaryMapView.setZoom(primaryMapView.getZoom());
         secondaryMapView.setMapPosition(primaryMapView.getLatitude(), primaryMapView.getLongitude());
         primaryMapView.addMapChangeListener((lat, lon, zoom) -> {
-            if (settings.getCustomPreferenceBoolean("split_screen_sync", false)) {
+            if (settings.get().splitScreenSync) {
                 secondaryMapView.setZoom(zoom);
                 secondaryMapView.setMapPosition(lat, lon);
             }
@@ -354,29 +396,25 @@ public class NauticaMapView extends OsmandMapLayer {
         switch (orientationMode) {
             case MODE_OSMAND_NORTH_UP: // OsmAnd North-up
                 mapView.setMapOrientation(0f);
-                settings.setCustomPreferenceBoolean("head_up_enabled", false);
-                settings.setCustomPreferenceBoolean("course_up_enabled", false);
+                settings.setOrientationFlags(false, false);
                 break;
             case MODE_OSMAND_DIRECTION: // OsmAnd Direction of movement
                 mapView.setMapOrientationToMovement();
-                settings.setCustomPreferenceBoolean("head_up_enabled", false);
-                settings.setCustomPreferenceBoolean("course_up_enabled", false);
+                settings.setOrientationFlags(false, false);
                 break;
             case MODE_NAUTICA_COURSE_UP: // Nautica Course-up
                 JSONObject course = signalKClient.getCachedData("navigation.courseOverGroundTrue");
                 if (course != null) {
                     mapView.setMapOrientation((float) course.optDouble("value", 0.0));
                 }
-                settings.setCustomPreferenceBoolean("head_up_enabled", false);
-                settings.setCustomPreferenceBoolean("course_up_enabled", true);
+                settings.setOrientationFlags(false, true);
                 break;
             case MODE_NAUTICA_HEAD_UP: // Nautica Head-up
                 JSONObject heading = signalKClient.getCachedData("navigation.headingTrue");
                 if (heading != null) {
                     mapView.setMapOrientation((float) heading.optDouble("value", 0.0));
                 }
-                settings.setCustomPreferenceBoolean("head_up_enabled", true);
-                settings.setCustomPreferenceBoolean("course_up_enabled", false);
+                settings.setOrientationFlags(true, false);
                 break;
         }
         if (isSplitScreen && secondaryMapView != null) {
@@ -388,19 +426,21 @@ public class NauticaMapView extends OsmandMapLayer {
 
     // Route Creation
     public void createRoute(List<double[]> waypoints, String routeType, double maxLat) {
-        if (!settings.getCustomPreferenceBoolean("route_enabled", true) || waypoints.size() < 2) return;
+        if (!settings.get().routeEnabled || waypoints.size() < 2) return;
+        long startTime = System.nanoTime();
         List<double[]> routePoints = new ArrayList<>();
         for (int i = 0; i < waypoints.size() - 1; i++) {
             double[] start = waypoints.get(i);
             double[] end = waypoints.get(i + 1);
             List<double[]> segmentPoints = switch (routeType) {
-                case "great_circle" -> calculateGreatCirclePoints(start, end);
-                case "limited_circle" -> calculateLimitedCirclePoints(start, end, maxLat);
-                default -> calculateRhumbPoints(start, end);
+                case "great_circle" -> RouteGeometry.greatCirclePoints(start, end);
+                case "limited_circle" -> RouteGeometry.limitedCirclePoints(start, end, maxLat);
+                default -> RouteGeometry.rhumbPoints(start, end);
             };
             routePoints.addAll(adjustForWaveHeight(segmentPoints));
         }
         routePoints.add(waypoints.get(waypoints.size() - 1));
+        routeTime.recordSince(startTime);
         saveRoute(routePoints, "route_" + System.currentTimeMillis());
     }
 
@@ -419,39 +459,6 @@ public class NauticaMapView extends OsmandMapLayer {
         }
     }
 
-    private List<double[]> calculateGreatCirclePoints(double[] start, double[] end) {
-        List<double[]> points = new ArrayList<>();
-        double lat1 = Math.toRadians(start[0]);
-        double lon1 = Math.toRadians(start[1]);
-        double lat2 = Math.toRadians(end[0]);
-        double lon2 = Math.toRadians(end[1]);
-        double d = calculateGreatCircleDistance(start, end);
-        int segments = (int) (d / 0.01745); // ~10nm/segment
-        for (int i = 0; i <= segments; i++) {
-            double f = (double) i / segments;
-            double A = Math.sin((1 - f) * d) / Math.sin(d);
-            double B = Math.sin(f * d) / Math.sin(d);
-            double x = A * Math.cos(lat1) * Math.cos(lon1) + B * Math.cos(lat2) * Math.cos(lon2);
-            double y = A * Math.cos(lat1) * Math.sin(lon1) + B * Math.cos(lat2) * Math.sin(lon2);
-            double z = A * Math.sin(lat1) + B * Math.sin(lat2);
-            double lat = Math.atan2(z, Math.sqrt(x * x + y * y));
-            double lon = Math.atan2(y, x);
-            points.add(new double[]{Math.toDegrees(lat), Math.toDegrees(lon)});
-        }
-        return points;
-    }
-
-    private List<double[]> calculateLimitedCirclePoints(double[] start, double[] end, double maxLat) {
-        if (Math.abs(start[0]) > maxLat || Math.abs(end[0]) > maxLat) {
-            return calculateRhumbPoints(start, end);
-        }
-        return calculateGreatCirclePoints(start, end);
-    }
-
-    private List<double[]> calculateRhumbPoints(double[] start, double[] end) {
-        return List.of(start, end);
-    }
-
     private List<double[]> adjustForWaveHeight(List<double[]> points) {
         List<double[]> adjusted = new ArrayList<>();
         for (double[] pt : points) {
@@ -461,30 +468,48 @@ public class NauticaMapView extends OsmandMapLayer {
         return adjusted;
     }
 
-    private double calculateGreatCircleDistance(double[] start, double[] end) {
-        double lat1 = Math.toRadians(start[0]);
-        double lon1 = Math.toRadians(start[1]);
-        double lat2 = Math.toRadians(end[0]);
-        double lon2 = Math.toRadians(end[1]);
-        return Math.acos(Math.sin(lat1) * Math.sin(lat2) +
-                Math.cos(lat1) * Math.cos(lat2) * Math.cos(lon2 - lon1));
-    }
-
     // AIS Handling (P9)
     private void updateAisTargets() {
         JSONObject data = signalKClient.getCachedData("ais.targets");
         if (data != null) {
             data.keys().forEachRemaining(key -> aisTargets.put(key, data.optJSONObject(key)));
+            aisTargetCount.set(aisTargets.size());
         }
     }
 
     // Rendering
     @Override
     public void onDraw(Canvas canvas, RectF latLonBounds, RectF tilesRect, DrawSettings drawSettings) {
+        long start = System.nanoTime();
         weatherManager.drawWeatherOverlay(canvas, latLonBounds);
+        long t = System.nanoTime();
+        drawWeatherTime.record(t - start);
         drawMOB(canvas);
+        drawMobTime.recordSince(t);
+        t = System.nanoTime();
         drawSART(canvas, latLonBounds);
+        drawSartTime.recordSince(t);
+        t = System.nanoTime();
         drawAIS(canvas, latLonBounds);
+        drawAisTime.recordSince(t);
+        drawTime.recordSince(start);
+        if (settings.get().debugMetricsOverlay) {
+            drawMetricsOverlay(canvas);
+        }
+    }
+
+    // Debug overlay, the text is rebuilt at most once per second
+    private void drawMetricsOverlay(Canvas canvas) {
+        long now = System.currentTimeMillis();
+        if (now - overlayUpdated > 1000) {
+            overlayLines = metrics.summary();
+            overlayUpdated = now;
+        }
+        float y = 40;
+        for (String line : overlayLines) {
+            canvas.drawText(line, 10, y, labelPaint);
+            y += labelPaint.getTextSize() + 2;
+        }
     }
 
     private void drawMOB(Canvas canvas) {
@@ -512,10 +537,11 @@ public class NauticaMapView extends OsmandMapLayer {
     }
 
     private void drawAIS(Canvas canvas, RectF bounds) {
-        if (!settings.getCustomPreferenceBoolean("ais_enabled", true)) return;
+        Settings.Snapshot prefs = settings.get();
+        if (!prefs.aisEnabled) return;
         updateAisTargets();
         OsmandMapView mapView = primaryMapView;
-        int maxTargets = settings.getCustomPreferenceInt("ais_max_targets", 100);
+        int maxTargets = prefs.aisMaxTargets;
         int count = 0;
         for (Map.Entry<String, JSONObject> e : aisTargets.entrySet()) {
             if (count++ >= maxTargets) break;
@@ -0,0 +1,460 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import net.osmand.plus.OsmandApplication;
+import net.osmand.plus.plugins.nautica.Metrics;
+import net.osmand.plus.plugins.nautica.NauticaPlugin;
+
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class Plotting {
+
+    // Default strip chart series
+    public static final String DEPTH = "environment.depth.belowTransducer";
+    public static final String WIND_SPEED = "environment.wind.speedApparent";
+    public static final String HEEL = "navigation.attitude.roll"; // series key, read from navigation.attitude
+    public static final String BOAT_SPEED = "navigation.speedThroughWater";
+
+    private static final long MIN_SAMPLE_INTERVAL_MS = 1000; // store at most 1 Hz per series
+    private static final int MAX_SAMPLES = 2 * 24 * 3600; // two days at 1 Hz, ~2.5 MB per series
+
+    private final OsmandApplication app;
+    private final SignalKClient signalKClient;
+    private final Map<String, Series> series = new LinkedHashMap<>();
+    private final SignalKClient.DeltaListener deltaListener = this::onDelta;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable attitudePoll = new Runnable() {
+        @Override
+        public void run() {
+            sampleAttitude();
+            handler.postDelayed(this, MIN_SAMPLE_INTERVAL_MS);
+        }
+    };
+    private String lastAttitudeTimestamp;
+    private final Metrics.Histogram deltaTime;
+    private boolean started;
+
+    public Plotting(OsmandApplication app, SignalKClient signalKClient) {
+        this.app = app;
+        this.signalKClient = signalKClient;
+        this.deltaTime = NauticaPlugin.getInstance().getMetrics().histogram("signalk.delta.plotting");
+        addSeries(DEPTH);
+        addSeries(WIND_SPEED);
+        addSeries(HEEL);
+        addSeries(BOAT_SPEED);
+    }
+
+    public Series addSeries(String path) {
+        Series s = new Series(path, MAX_SAMPLES, MIN_SAMPLE_INTERVAL_MS);
+        series.put(path, s);
+        return s;
+    }
+
+    public Series getSeries(String path) {
+        return series.get(path);
+    }
+
+    public Map<String, Series> getAllSeries() {
+        return Collections.unmodifiableMap(series);
+    }
+
+    public void start() {
+        if (started) return;
+        started = true;
+        signalKClient.addDeltaListener(deltaListener);
+        handler.post(attitudePoll);
+    }
+
+    public void stop() {
+        if (!started) return;
+        started = false;
+        signalKClient.removeDeltaListener(deltaListener);
+        handler.removeCallbacks(attitudePoll);
+    }
+
+    // Called from the SignalK thread for every numeric delta
+    private void onDelta(String path, double value) {
+        Series s = series.get(path);
+        if (s != null) {
+            long start = System.nanoTime();
+            s.append(System.currentTimeMillis(), SystemClock.elapsedRealtime(), (float) value);
+            deltaTime.recordSince(start);
+        }
+    }
+
+    // navigation.attitude is one {roll, pitch, yaw} object, which the numeric delta stream does not
+    // deliver, so heel is taken from the cached value whenever its timestamp changes
+    private void sampleAttitude() {
+        JSONObject data = signalKClient.getCachedData("navigation.attitude");
+        if (data == null) return;
+        String timestamp = data.optString("timestamp", "");
+        if (!timestamp.isEmpty() && timestamp.equals(lastAttitudeTimestamp)) return;
+        lastAttitudeTimestamp = timestamp;
+        JSONObject attitude = data.optJSONObject("value");
+        double roll = (attitude != null ? attitude : data).optDouble("roll", Double.NaN);
+        getSeries(HEEL).append(System.currentTimeMillis(), SystemClock.elapsedRealtime(), (float) roll);
+    }
+
+    // Draws the min/max envelope and the LTTB line of a series over [t0, t1] into area
+    public static void draw(Canvas canvas, RectF area, Series series, long t0, long t1, PlotFrame frame,
+                            Paint linePaint, Paint envelopePaint) {
+        if (!series.render(t0, t1, area, frame)) return;
+        if (envelopePaint != null) {
+            canvas.drawLines(frame.envelope, 0, frame.envelopeCount * 4, envelopePaint);
+        }
+        if (frame.lineCount > 1) {
+            canvas.drawLines(frame.line, 0, frame.lineCount * 4 - 4, linePaint);
+        }
+    }
+
+    /**
+     * Append-only time series with a min/max/mean pyramid. Level 0 holds raw samples, each higher
+     * level aggregates FACTOR buckets of the level below. Buckets are aligned on raw sample index so
+     * appends only touch the last bucket of each level. Timestamps are stored as int second offsets
+     * from the first sample, so resolution is one second. Offsets and the rate gate run on the
+     * monotonic clock, so a wall clock step neither reorders samples nor stops recording.
+     */
+    public static class Series {
+        private static final int FACTOR = 4;
+        private static final int MAX_LEVELS = 9; // top level buckets hold at most 4^8 = 65536 samples
+
+        public final String path;
+        private final int maxSamples;
+        private final long minIntervalMs;
+        private final Level[] levels;
+        private final int dropChunk;
+        private long baseSeconds;
+        private long baseElapsedSeconds;
+        private long nextDue;
+        private long lastTime = Long.MIN_VALUE;
+
+        public Series(String path, int maxSamples, long minIntervalMs) {
+            if (maxSamples < 1) {
+                throw new IllegalArgumentException("maxSamples must be positive");
+            }
+            this.path = path;
+            this.maxSamples = maxSamples;
+            this.minIntervalMs = minIntervalMs;
+            // The drop chunk must be a whole number of top-level buckets to keep the levels aligned,
+            // and at most an eighth of the history so a full series only loses its oldest part
+            int levelCount = 1;
+            while (levelCount < MAX_LEVELS && pow(levelCount) <= maxSamples / 8) levelCount++;
+            int topBucket = pow(levelCount - 1);
+            this.dropChunk = Math.min(maxSamples, Math.max(topBucket, (maxSamples / 8) / topBucket * topBucket));
+            this.levels = new Level[levelCount];
+            int bucketSize = 1;
+            for (int l = 0; l < levelCount; l++) {
+                levels[l] = new Level(l == 0, maxSamples / bucketSize + 1);
+                bucketSize *= FACTOR;
+            }
+        }
+
+        // time is wall clock ms, elapsedMs a monotonic clock such as SystemClock.elapsedRealtime()
+        public synchronized void append(long time, long elapsedMs, float value) {
+            if (Float.isNaN(value)) return;
+            // Nominal schedule of one sample per interval, accepting up to half an interval early, so
+            // arrival jitter of a feed at the sample rate loses nothing and faster feeds are thinned
+            boolean first = lastTime == Long.MIN_VALUE;
+            if (!first && elapsedMs < nextDue - minIntervalMs / 2) return;
+            if (first) {
+                baseSeconds = time / 1000;
+                baseElapsedSeconds = elapsedMs / 1000;
+            }
+            boolean behind = first || elapsedMs > nextDue + minIntervalMs;
+            nextDue = (behind ? elapsedMs : nextDue) + minIntervalMs;
+            if (levels[0].size >= maxSamples) {
+                dropOldest(dropChunk);
+            }
+            int index = levels[0].size;
+            int offset = (int) (elapsedMs / 1000 - baseElapsedSeconds);
+            lastTime = (baseSeconds + offset) * 1000;
+            levels[0].add(offset, value);
+            int bucketSize = 1;
+            for (int l = 1; l < levels.length; l++) {
+                bucketSize *= FACTOR;
+                Level level = levels[l];
+                int n = index % bucketSize;
+                if (n == 0) {
+                    level.add(offset, value);
+                } else {
+                    level.merge(value, n + 1);
+                }
+            }
+        }
+
+        public synchronized int size() {
+            return levels[0].size;
+        }
+
+        public synchronized long getStartTime() {
+            return levels[0].size == 0 ? 0 : (baseSeconds + levels[0].time[0]) * 1000;
+        }
+
+        public synchronized long getEndTime() {
+            return lastTime;
+        }
+
+        public synchronized void clear() {
+            for (Level level : levels) level.size = 0;
+            lastTime = Long.MIN_VALUE;
+        }
+
+        private void dropOldest(int count) {
+            int bucketSize = 1;
+            for (int l = 0; l < levels.length; l++) {
+                levels[l].dropFirst(count / bucketSize);
+                bucketSize *= FACTOR;
+            }
+        }
+
+        /**
+         * Fills frame with pixel coordinates for [t0, t1]. Picks the coarsest level that still has
+         * about two buckets per pixel, so the work is bounded by the width and not the sample count.
+         */
+        synchronized boolean render(long t0, long t1, RectF area, PlotFrame frame) {
+            int width = Math.max(1, (int) area.width());
+            if (levels[0].size == 0 || t1 <= t0) return false;
+
+            int s0 = toOffset(t0);
+            int s1 = toOffset(t1);
+            Level level = levels[0];
+            int from = 0;
+            int to = 0;
+            for (int l = levels.length - 1; l >= 0; l--) {
+                Level candidate = levels[l];
+                int f = Math.max(0, candidate.indexAtOrBefore(s0));
+                int t = Math.min(candidate.size, candidate.indexAtOrBefore(s1) + 2);
+                if (t - f > 2 * width && l < levels.length - 1) break;
+                level = candidate;
+                from = f;
+                to = t;
+            }
+            int count = to - from;
+            if (count <= 0) return false;
+
+            float vMin = Float.MAX_VALUE;
+            float vMax = -Float.MAX_VALUE;
+            for (int i = from; i < to; i++) {
+                vMin = Math.min(vMin, level.min[i]);
+                vMax = Math.max(vMax, level.max[i]);
+            }
+            if (vMax - vMin < 1e-6f) {
+                vMin -= 0.5f;
+                vMax += 0.5f;
+            }
+            frame.valueMin = vMin;
+            frame.valueMax = vMax;
+            float xScale = area.width() / (t1 - t0);
+            long originMs = baseSeconds * 1000 - t0;
+            float yScale = area.height() / (vMax - vMin);
+
+            // Envelope: one vertical min/max segment per pixel column
+            int target = Math.min(count, Math.max(3, width));
+            frame.ensureCapacity(Math.min(count, width + 3), target);
+            int columns = 0;
+            int column = Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                float x = area.left + (originMs + level.time[i] * 1000L) * xScale;
+                int c = (int) x;
+                float yLow = area.bottom - (level.min[i] - vMin) * yScale;
+                float yHigh = area.bottom - (level.max[i] - vMin) * yScale;
+                float[] env = frame.envelope;
+                if (c != column) {
+                    column = c;
+                    int k = columns++ * 4;
+                    env[k] = x;
+                    env[k + 1] = yLow;
+                    env[k + 2] = x;
+                    env[k + 3] = yHigh;
+                } else {
+                    int k = (columns - 1) * 4;
+                    env[k + 1] = Math.max(env[k + 1], yLow);
+                    env[k + 3] = Math.min(env[k + 3], yHigh);
+                }
+            }
+            frame.envelopeCount = columns;
+
+            // Line: LTTB over the bucket means
+            int points = lttb(level.time, level.mean, from, to, target, frame.selected);
+            float prevX = 0;
+            float prevY = 0;
+            for (int p = 0; p < points; p++) {
+                int i = frame.selected[p];
+                float x = area.left + (originMs + level.time[i] * 1000L) * xScale;
+                float y = area.bottom - (level.mean[i] - vMin) * yScale;
+                if (p > 0) {
+                    int k = (p - 1) * 4;
+                    frame.line[k] = prevX;
+                    frame.line[k + 1] = prevY;
+                    frame.line[k + 2] = x;
+                    frame.line[k + 3] = y;
+                }
+                prevX = x;
+                prevY = y;
+            }
+            frame.lineCount = points;
+            return true;
+        }
+
+        // Query time in ms to a stored second offset, clamped to the int range
+        private int toOffset(long timeMs) {
+            long offset = Math.floorDiv(timeMs, 1000) - baseSeconds;
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, offset));
+        }
+
+        private static int pow(int exponent) {
+            int result = 1;
+            for (int i = 0; i < exponent; i++) result *= FACTOR;
+            return result;
+        }
+    }
+
+    // Largest-Triangle-Three-Buckets, threshold must be at least 3; returns the number of indices written to out
+    static int lttb(int[] time, float[] value, int from, int to, int threshold, int[] out) {
+        int n = to - from;
+        if (threshold >= n) {
+            for (int i = 0; i < n; i++) out[i] = from + i;
+            return n;
+        }
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = from;
+        int count = 0;
+        out[count++] = a;
+        for (int b = 0; b < threshold - 2; b++) {
+            int avgStart = from + (int) ((b + 1) * every) + 1;
+            int avgEnd = Math.min(from + (int) ((b + 2) * every) + 1, to);
+            double avgX = 0;
+            double avgY = 0;
+            int avgLen = avgEnd - avgStart;
+            for (int i = avgStart; i < avgEnd; i++) {
+                avgX += time[i] - time[from];
+                avgY += value[i];
+            }
+            if (avgLen > 0) {
+                avgX /= avgLen;
+                avgY /= avgLen;
+            } else {
+                avgX = time[to - 1] - time[from];
+                avgY = value[to - 1];
+            }
+
+            int rangeStart = from + (int) (b * every) + 1;
+            int rangeEnd = from + (int) ((b + 1) * every) + 1;
+            double ax = time[a] - time[from];
+            double ay = value[a];
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                double area = Math.abs((ax - avgX) * (value[i] - ay) - (ax - (time[i] - time[from])) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = i;
+                }
+            }
+            out[count++] = next;
+            a = next;
+        }
+        out[count++] = to - 1;
+        return count;
+    }
+
+    // Column store for one pyramid level, grows up to a fixed capacity
+    private static class Level {
+        private final boolean raw;
+        private final int maxCapacity;
+        int[] time;
+        float[] min;
+        float[] max;
+        float[] mean;
+        int size;
+
+        Level(boolean raw, int maxCapacity) {
+            this.raw = raw;
+            this.maxCapacity = maxCapacity;
+            int capacity = Math.min(1024, maxCapacity);
+            time = new int[capacity];
+            min = new float[capacity];
+            // Raw samples are their own min, max and mean
+            max = raw ? min : new float[capacity];
+            mean = raw ? min : new float[capacity];
+        }
+
+        void add(int t, float v) {
+            if (size == time.length) grow();
+            time[size] = t;
+            min[size] = v;
+            if (!raw) {
+                max[size] = v;
+                mean[size] = v;
+            }
+            size++;
+        }
+
+        // Folds the n-th sample of the current bucket into the last entry
+        void merge(float v, int n) {
+            int i = size - 1;
+            if (v < min[i]) min[i] = v;
+            if (v > max[i]) max[i] = v;
+            mean[i] += (v - mean[i]) / n;
+        }
+
+        void dropFirst(int count) {
+            count = Math.min(count, size);
+            int remaining = size - count;
+            System.arraycopy(time, count, time, 0, remaining);
+            System.arraycopy(min, count, min, 0, remaining);
+            if (!raw) {
+                System.arraycopy(max, count, max, 0, remaining);
+                System.arraycopy(mean, count, mean, 0, remaining);
+            }
+            size = remaining;
+        }
+
+        // Index of the last bucket starting at or before t, -1 if t precedes all buckets
+        int indexAtOrBefore(int t) {
+            int i = Arrays.binarySearch(time, 0, size, t);
+            return i >= 0 ? i : -i - 2;
+        }
+
+        private void grow() {
+            int capacity = Math.min(time.length * 2, maxCapacity);
+            time = Arrays.copyOf(time, capacity);
+            min = Arrays.copyOf(min, capacity);
+            if (raw) {
+                max = min;
+                mean = min;
+            } else {
+                max = Arrays.copyOf(max, capacity);
+                mean = Arrays.copyOf(mean, capacity);
+            }
+        }
+    }
+
+    // Reusable output buffers so redraws do not allocate
+    public static class PlotFrame {
+        float[] envelope = new float[0];
+        float[] line = new float[0];
+        int[] selected = new int[0];
+        int envelopeCount;
+        int lineCount;
+        public float valueMin;
+        public float valueMax;
+
+        void ensureCapacity(int columns, int points) {
+            if (envelope.length < columns * 4) envelope = new float[columns * 4];
+            if (line.length < points * 4) line = new float[points * 4];
+            if (selected.length < points) selected = new int[points];
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+// Parsing of list-valued preferences
+public final class PreferenceParsers {
+
+    private PreferenceParsers() {
+    }
+
+    // Parses "1nm,0.5nm" into nautical miles, unparseable entries fall back to 1 nm
+    public static double[] parseProximityZones(String zones) {
+        String[] parts = zones.split(",");
+        double[] result = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                result[i] = Double.parseDouble(parts[i].replace("nm", "").trim());
+            } catch (NumberFormatException e) {
+                result[i] = 1.0;
+            }
+        }
+        return result;
+    }
+
+    public static String[] parseLabelFields(String fields) {
+        String[] parts = fields.split(",");
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = parts[i].trim();
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,81 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Great-circle route legs and short-range distances for routes and AIS alarms
+public final class RouteGeometry {
+
+    private static final double EARTH_RADIUS_NM = 3440.065;
+
+    private RouteGeometry() {
+    }
+
+    public static List<double[]> greatCirclePoints(double[] start, double[] end) {
+        double d = greatCircleDistance(start, end);
+        if (!(d > 0)) return List.of(start, end);
+        List<double[]> points = new ArrayList<>();
+        double lat1 = Math.toRadians(start[0]);
+        double lon1 = Math.toRadians(start[1]);
+        double lat2 = Math.toRadians(end[0]);
+        double lon2 = Math.toRadians(end[1]);
+        int segments = Math.max(1, (int) (d / 0.01745)); // ~10nm/segment
+        double sinD = Math.sin(d);
+        double cosLat1 = Math.cos(lat1);
+        double cosLat2 = Math.cos(lat2);
+        double x1 = cosLat1 * Math.cos(lon1);
+        double y1 = cosLat1 * Math.sin(lon1);
+        double z1 = Math.sin(lat1);
+        double x2 = cosLat2 * Math.cos(lon2);
+        double y2 = cosLat2 * Math.sin(lon2);
+        double z2 = Math.sin(lat2);
+        for (int i = 0; i <= segments; i++) {
+            double f = (double) i / segments;
+            double A = Math.sin((1 - f) * d) / sinD;
+            double B = Math.sin(f * d) / sinD;
+            double x = A * x1 + B * x2;
+            double y = A * y1 + B * y2;
+            double z = A * z1 + B * z2;
+            double lat = Math.atan2(z, Math.sqrt(x * x + y * y));
+            double lon = Math.atan2(y, x);
+            points.add(new double[]{Math.toDegrees(lat), Math.toDegrees(lon)});
+        }
+        return points;
+    }
+
+    public static List<double[]> limitedCirclePoints(double[] start, double[] end, double maxLat) {
+        if (Math.abs(start[0]) > maxLat || Math.abs(end[0]) > maxLat) {
+            return rhumbPoints(start, end);
+        }
+        return greatCirclePoints(start, end);
+    }
+
+    public static List<double[]> rhumbPoints(double[] start, double[] end) {
+        return List.of(start, end);
+    }
+
+    // Central angle in radians
+    public static double greatCircleDistance(double[] start, double[] end) {
+        double lat1 = Math.toRadians(start[0]);
+        double lon1 = Math.toRadians(start[1]);
+        double lat2 = Math.toRadians(end[0]);
+        double lon2 = Math.toRadians(end[1]);
+        double cos = Math.sin(lat1) * Math.sin(lat2) +
+                Math.cos(lat1) * Math.cos(lat2) * Math.cos(lon2 - lon1);
+        return Math.acos(Math.max(-1.0, Math.min(1.0, cos)));
+    }
+
+    // Haversine distance in nautical miles, stable for the short ranges used by AIS alarms.
+    // Double.MAX_VALUE when a coordinate is missing (NaN), so an unknown position is never in range.
+    public static double distanceNm(double lat1, double lon1, double lat2, double lon2) {
+        if (Double.isNaN(lat1) || Double.isNaN(lon1) || Double.isNaN(lat2) || Double.isNaN(lon2)) {
+            return Double.MAX_VALUE;
+        }
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_NM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
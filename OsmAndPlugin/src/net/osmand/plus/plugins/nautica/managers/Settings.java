@@ -0,0 +1,169 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import net.osmand.plus.OsmandApplication;
+import net.osmand.plus.settings.backend.OsmandSettings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class Settings {
+
+    private static Settings instance;
+
+    private final OsmandApplication app;
+    private final OsmandSettings osmandSettings;
+    // Preferences read into the snapshot; changes to any other custom preference are ignored
+    private final Set<String> keys;
+    private volatile Snapshot snapshot;
+
+    public static synchronized Settings getInstance(OsmandApplication app) {
+        if (instance == null) {
+            instance = new Settings(app);
+        }
+        return instance;
+    }
+
+    private Settings(OsmandApplication app) {
+        this.app = app;
+        this.osmandSettings = app.getSettings();
+        // The first snapshot records the keys it reads, so the filter always matches the fields
+        Set<String> read = new HashSet<>();
+        this.snapshot = new Snapshot(new Prefs(osmandSettings, read), defaultChartDirectory());
+        this.keys = Collections.unmodifiableSet(read);
+        osmandSettings.addCustomPreferenceChangeListener(key -> {
+            if (keys.contains(key)) reload();
+        });
+    }
+
+    // Current values; safe to call from the render and alarm loops, never touches preference storage
+    public Snapshot get() {
+        return snapshot;
+    }
+
+    // Synchronized so a slower concurrent rebuild cannot publish an older snapshot over a newer one
+    public synchronized void reload() {
+        snapshot = new Snapshot(new Prefs(osmandSettings, null), defaultChartDirectory());
+    }
+
+    // Orientation flags are set on every orientation update, only write when they actually change.
+    // Each write reloads the snapshot through the preference listener.
+    public void setOrientationFlags(boolean headUp, boolean courseUp) {
+        Snapshot current = snapshot;
+        if (current.headUpEnabled == headUp && current.courseUpEnabled == courseUp) return;
+        if (current.headUpEnabled != headUp) {
+            osmandSettings.setCustomPreferenceBoolean("head_up_enabled", headUp);
+        }
+        if (current.courseUpEnabled != courseUp) {
+            osmandSettings.setCustomPreferenceBoolean("course_up_enabled", courseUp);
+        }
+    }
+
+    private String defaultChartDirectory() {
+        return app.getAppPath("nautical").getAbsolutePath();
+    }
+
+    // Custom preference reads, optionally recording each key
+    private static final class Prefs {
+        private final OsmandSettings settings;
+        private final Set<String> keys;
+
+        Prefs(OsmandSettings settings, Set<String> keys) {
+            this.settings = settings;
+            this.keys = keys;
+        }
+
+        boolean getBoolean(String key, boolean defaultValue) {
+            record(key);
+            return settings.getCustomPreferenceBoolean(key, defaultValue);
+        }
+
+        int getInt(String key, int defaultValue) {
+            record(key);
+            return settings.getCustomPreferenceInt(key, defaultValue);
+        }
+
+        String getString(String key, String defaultValue) {
+            record(key);
+            return settings.getCustomPreferenceString(key, defaultValue);
+        }
+
+        private void record(String key) {
+            if (keys != null) keys.add(key);
+        }
+    }
+
+    /** Immutable view of all plugin preferences, rebuilt whenever one of them changes. */
+    public static final class Snapshot {
+        // AIS
+        public final boolean aisEnabled;
+        public final int aisMaxTargets;
+        public final boolean aisOnlineEnabled;
+        public final String aisOnlineConfig;
+        public final boolean aisProximityEnabled;
+        private final List<Double> aisProximityZones; // nm
+        public final boolean aisSearchEnabled;
+        public final boolean aisLabelsEnabled;
+        private final List<String> aisLabelFields;
+        public final boolean aisPopupEnabled;
+
+        // Map
+        public final boolean gpxEnabled;
+        public final boolean routeEnabled;
+        public final boolean splitScreenSync;
+        public final String chartDirectory;
+        public final boolean headUpEnabled;
+        public final boolean courseUpEnabled;
+
+        // Anchor
+        public final int anchorRadius; // m
+
+        // Diagnostics
+        public final boolean debugMetricsOverlay;
+
+        // Every preference must be read unconditionally, the change filter is built from these reads
+        private Snapshot(Prefs s, String defaultChartDirectory) {
+            aisEnabled = s.getBoolean("ais_enabled", true);
+            aisMaxTargets = s.getInt("ais_max_targets", 100);
+            aisOnlineEnabled = s.getBoolean("ais_online_enabled", false);
+            aisOnlineConfig = s.getString("ais_online_config", "");
+            aisProximityEnabled = s.getBoolean("ais_proximity_enabled", true);
+            aisProximityZones = toList(PreferenceParsers.parseProximityZones(
+                    s.getString("ais_proximity_zones", "1nm,0.5nm")));
+            aisSearchEnabled = s.getBoolean("ais_search_enabled", true);
+            aisLabelsEnabled = s.getBoolean("ais_labels_enabled", true);
+            aisLabelFields = Collections.unmodifiableList(Arrays.asList(PreferenceParsers.parseLabelFields(
+                    s.getString("ais_label_fields", "mmsi,name"))));
+            aisPopupEnabled = s.getBoolean("ais_popup_enabled", true);
+
+            gpxEnabled = s.getBoolean("gpx_enabled", true);
+            routeEnabled = s.getBoolean("route_enabled", true);
+            splitScreenSync = s.getBoolean("split_screen_sync", false);
+            chartDirectory = s.getString("chart_directory", defaultChartDirectory);
+            headUpEnabled = s.getBoolean("head_up_enabled", false);
+            courseUpEnabled = s.getBoolean("course_up_enabled", false);
+
+            anchorRadius = s.getInt("anchor_radius", 50);
+
+            debugMetricsOverlay = s.getBoolean("debug_metrics_overlay", false);
+        }
+
+        // Unmodifiable, shared by every reader of this snapshot
+        public List<Double> getAisProximityZones() {
+            return aisProximityZones;
+        }
+
+        public List<String> getAisLabelFields() {
+            return aisLabelFields;
+        }
+
+        private static List<Double> toList(double[] values) {
+            List<Double> list = new ArrayList<>(values.length);
+            for (double value : values) list.add(value);
+            return Collections.unmodifiableList(list);
+        }
+    }
+}
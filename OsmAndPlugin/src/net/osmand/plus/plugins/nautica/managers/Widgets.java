@@ -0,0 +1,349 @@
+package net.osmand.plus.plugins.nautica.managers;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+import android.widget.TextView;
+
+import net.osmand.plus.OsmandApplication;
+import net.osmand.plus.plugins.nautica.Metrics;
+import net.osmand.plus.plugins.nautica.NauticaPlugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redraws instrument widgets from SignalK deltas. Relies on SignalKClient delivering each numeric
+ * leaf value of a delta to DeltaListener.onDelta on the client's connection thread, never the main
+ * thread; object-valued paths are not delivered.
+ */
+public class NauticaWidgetManager implements Choreographer.FrameCallback {
+
+    // Unit conversions from SignalK SI values
+    private static final double MS_TO_KNOTS = 1.943844;
+    private static final double RAD_TO_DEG = 180.0 / Math.PI;
+    private static final double M_TO_NM = 1.0 / 1852.0;
+
+    private final OsmandApplication app;
+    private final SignalKClient signalKClient;
+    private final Map<String, List<InstrumentWidget>> subscribers = new HashMap<>();
+    private final Map<String, InstrumentWidget> widgetsById = new HashMap<>();
+    private final List<InstrumentWidget> widgets = new ArrayList<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicBoolean immediateRequested = new AtomicBoolean();
+    private final Runnable immediateFrame = () -> {
+        immediateRequested.set(false);
+        postFrame(0);
+    };
+    private long frameDeadline = Long.MAX_VALUE; // uptime of the pending frame callback, main thread only
+    private final SignalKClient.DeltaListener deltaListener = this::onDelta;
+    private final Metrics.Histogram deltaTime;
+    private final Metrics.Histogram frameTime;
+    private long frameCount;
+    private boolean started;
+
+    public NauticaWidgetManager(OsmandApplication app, SignalKClient signalKClient) {
+        this.app = app;
+        this.signalKClient = signalKClient;
+        Metrics metrics = NauticaPlugin.getInstance().getMetrics();
+        this.deltaTime = metrics.histogram("signalk.delta.widgets");
+        this.frameTime = metrics.histogram("widgets.frame");
+        registerWidget(new ScalarWidget("sog", "SOG", "kn", 1, MS_TO_KNOTS, 5, "navigation.speedOverGround"));
+        registerWidget(new ScalarWidget("cog", "COG", "°", 0, RAD_TO_DEG, 5, "navigation.courseOverGroundTrue"));
+        registerWidget(new ScalarWidget("depth", "Depth", "m", 1, 1.0, 2, "environment.depth.belowTransducer"));
+        registerWidget(new WindWidget("wind", 4));
+        registerWidget(new ScalarWidget("xte", "XTE", "nm", 2, M_TO_NM, 1, "navigation.courseGreatCircle.crossTrackError"));
+    }
+
+    public void registerWidget(InstrumentWidget widget) {
+        widgets.add(widget);
+        widgetsById.put(widget.id, widget);
+        for (String path : widget.paths) {
+            List<InstrumentWidget> list = subscribers.get(path);
+            if (list == null) {
+                list = new ArrayList<>();
+                subscribers.put(path, list);
+            }
+            list.add(widget);
+        }
+    }
+
+    public InstrumentWidget getWidget(String id) {
+        return widgetsById.get(id);
+    }
+
+    public void bindView(String id, TextView view) {
+        InstrumentWidget widget = widgetsById.get(id);
+        if (widget == null) {
+            Log.w("Nautica", "Unknown widget: " + id);
+            return;
+        }
+        widget.view = view;
+        widget.dirty = true;
+        scheduleFrame(0);
+    }
+
+    public void setMaxRate(String id, double hz) {
+        InstrumentWidget widget = widgetsById.get(id);
+        if (widget != null) {
+            widget.minIntervalMs = hz > 0 ? (long) (1000 / hz) : 0;
+        }
+    }
+
+    public void start() {
+        if (started) return;
+        started = true;
+        signalKClient.addDeltaListener(deltaListener);
+    }
+
+    public void stop() {
+        if (!started) return;
+        started = false;
+        signalKClient.removeDeltaListener(deltaListener);
+        mainHandler.removeCallbacksAndMessages(null);
+        Choreographer.getInstance().removeFrameCallback(this);
+        frameDeadline = Long.MAX_VALUE;
+        immediateRequested.set(false);
+    }
+
+    // Called from the SignalK thread for every numeric delta
+    public void onDelta(String path, double value) {
+        List<InstrumentWidget> list = subscribers.get(path);
+        if (list == null) return;
+        long start = System.nanoTime();
+        boolean changed = false;
+        for (InstrumentWidget widget : list) {
+            widget.updates++;
+            if (widget.onValue(path, value)) {
+                widget.dirty = true;
+                changed = true;
+            }
+        }
+        if (changed) scheduleFrame(0);
+        deltaTime.recordSince(start);
+    }
+
+    private void scheduleFrame(long delayMs) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            postFrame(delayMs);
+        } else if (immediateRequested.compareAndSet(false, true)) {
+            // Off the main thread only immediate frames are requested, coalesce them into one post
+            mainHandler.post(immediateFrame);
+        }
+    }
+
+    // Keeps a single pending frame and pulls it forward when an earlier one is needed, so a
+    // deferred rate-limited widget never delays the others
+    private void postFrame(long delayMs) {
+        long deadline = SystemClock.uptimeMillis() + delayMs;
+        if (deadline >= frameDeadline) return;
+        Choreographer choreographer = Choreographer.getInstance();
+        if (frameDeadline != Long.MAX_VALUE) {
+            choreographer.removeFrameCallback(this);
+        }
+        choreographer.postFrameCallbackDelayed(this, delayMs);
+        frameDeadline = deadline;
+    }
+
+    // One redraw pass per vsync for all dirty widgets that are past their rate limit
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        long frameStart = System.nanoTime();
+        frameDeadline = Long.MAX_VALUE;
+        frameCount++;
+        long nowMs = frameTimeNanos / 1_000_000;
+        long nextDelay = Long.MAX_VALUE;
+        for (InstrumentWidget widget : widgets) {
+            if (!widget.dirty) continue;
+            long wait = widget.lastRedrawMs + widget.minIntervalMs - nowMs;
+            if (wait > 0) {
+                nextDelay = Math.min(nextDelay, wait);
+                continue;
+            }
+            widget.dirty = false;
+            widget.lastRedrawMs = nowMs;
+            if (widget.view == null) continue;
+            long start = System.nanoTime();
+            widget.view.setText(widget.getText());
+            widget.redrawNanos += System.nanoTime() - start;
+            widget.redraws++;
+        }
+        if (nextDelay != Long.MAX_VALUE) {
+            scheduleFrame(nextDelay);
+        }
+        frameTime.recordSince(frameStart);
+    }
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    public List<WidgetStats> getStats() {
+        List<WidgetStats> stats = new ArrayList<>(widgets.size());
+        for (InstrumentWidget widget : widgets) {
+            stats.add(new WidgetStats(widget.id, widget.updates, widget.redraws, widget.redrawNanos));
+        }
+        return Collections.unmodifiableList(stats);
+    }
+
+    public void resetStats() {
+        frameCount = 0;
+        for (InstrumentWidget widget : widgets) {
+            widget.updates = 0;
+            widget.redraws = 0;
+            widget.redrawNanos = 0;
+        }
+    }
+
+    public static class WidgetStats {
+        public final String id;
+        public final long updates;
+        public final long redraws;
+        public final long redrawNanos;
+
+        WidgetStats(String id, long updates, long redraws, long redrawNanos) {
+            this.id = id;
+            this.updates = updates;
+            this.redraws = redraws;
+            this.redrawNanos = redrawNanos;
+        }
+
+        public double getAverageRedrawMicros() {
+            return redraws == 0 ? 0 : redrawNanos / 1000.0 / redraws;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d updates, %d redraws, %.1f us/redraw",
+                    id, updates, redraws, getAverageRedrawMicros());
+        }
+    }
+
+    public abstract static class InstrumentWidget {
+        public final String id;
+        final String[] paths;
+        volatile long minIntervalMs;
+        volatile boolean dirty;
+        TextView view;
+        long lastRedrawMs;
+
+        // Stats, updates are counted on the SignalK thread and redraws on the UI thread
+        volatile long updates;
+        long redraws;
+        long redrawNanos;
+
+        protected InstrumentWidget(String id, double maxRateHz, String... paths) {
+            this.id = id;
+            this.paths = paths;
+            this.minIntervalMs = maxRateHz > 0 ? (long) (1000 / maxRateHz) : 0;
+        }
+
+        // Returns true when the displayed text changes
+        protected abstract boolean onValue(String path, double value);
+
+        protected abstract String getText();
+    }
+
+    // Single value widget; text is only rebuilt when the rounded display value changes
+    public static class ScalarWidget extends InstrumentWidget {
+        private final String label;
+        private final String unit;
+        private final int decimals;
+        private final double scale;
+        private final double precision;
+        private volatile long displayed = Long.MIN_VALUE;
+        private long formatted = Long.MIN_VALUE;
+        private String text = "";
+
+        public ScalarWidget(String id, String label, String unit, int decimals, double scale,
+                            double maxRateHz, String path) {
+            super(id, maxRateHz, path);
+            this.label = label;
+            this.unit = unit;
+            this.decimals = decimals;
+            this.scale = scale;
+            this.precision = Math.pow(10, decimals);
+        }
+
+        @Override
+        protected boolean onValue(String path, double value) {
+            long rounded = Math.round(value * scale * precision);
+            if (rounded == displayed) return false;
+            displayed = rounded;
+            return true;
+        }
+
+        @Override
+        protected String getText() {
+            long value = displayed;
+            if (value != formatted) {
+                formatted = value;
+                text = label + " " + formatFixed(value, decimals) + " " + unit;
+            }
+            return text;
+        }
+    }
+
+    // Apparent wind speed and angle in one widget
+    public static class WindWidget extends InstrumentWidget {
+        private static final String SPEED_PATH = "environment.wind.speedApparent";
+        private static final String ANGLE_PATH = "environment.wind.angleApparent";
+        private volatile long speed = Long.MIN_VALUE; // tenths of a knot
+        private volatile long angle = Long.MIN_VALUE; // whole degrees
+        private long formattedSpeed = Long.MIN_VALUE;
+        private long formattedAngle = Long.MIN_VALUE;
+        private String text = "";
+
+        public WindWidget(String id, double maxRateHz) {
+            super(id, maxRateHz, SPEED_PATH, ANGLE_PATH);
+        }
+
+        @Override
+        protected boolean onValue(String path, double value) {
+            if (SPEED_PATH.equals(path)) {
+                long rounded = Math.round(value * MS_TO_KNOTS * 10);
+                if (rounded == speed) return false;
+                speed = rounded;
+            } else {
+                long rounded = Math.round(value * RAD_TO_DEG);
+                if (rounded == angle) return false;
+                angle = rounded;
+            }
+            return true;
+        }
+
+        @Override
+        protected String getText() {
+            long s = speed;
+            long a = angle;
+            if (s != formattedSpeed || a != formattedAngle) {
+                formattedSpeed = s;
+                formattedAngle = a;
+                text = "AWS " + formatFixed(s, 1) + " kn  AWA " + formatFixed(a, 0) + "°";
+            }
+            return text;
+        }
+    }
+
+    // Formats a value that was pre-multiplied by 10^decimals without String.format
+    private static String formatFixed(long scaled, int decimals) {
+        if (scaled == Long.MIN_VALUE) return "--";
+        if (decimals == 0) return Long.toString(scaled);
+        StringBuilder sb = new StringBuilder(12);
+        if (scaled < 0) {
+            sb.append('-');
+            scaled = -scaled;
+        }
+        long divisor = (long) Math.pow(10, decimals);
+        sb.append(scaled / divisor).append('.');
+        String fraction = Long.toString(scaled % divisor);
+        for (int i = fraction.length(); i < decimals; i++) sb.append('0');
+        return sb.append(fraction).toString();
+    }
+}